@@ -0,0 +1,132 @@
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The store branches the app can switch between. Each branch is its own
+ * shard with its own {@link InventoryStore}; nothing is shared between
+ * them. The first ("home") branch stays on the store the app used before
+ * sharding, so its products, sales and user accounts carry over; user
+ * accounts live only there.
+ */
+final class Branches {
+
+    private final Map<String, InventoryStore> stores;
+
+    private Branches(Map<String, InventoryStore> stores) {
+        this.stores = Collections.unmodifiableMap(stores);
+    }
+
+    /** A single branch, as the app ran before sharding. */
+    static Branches single(String name, InventoryStore store) {
+        Map<String, InventoryStore> m = new LinkedHashMap<>();
+        m.put(name, store);
+        return new Branches(m);
+    }
+
+    /**
+     * The home branch on {@link DBConnection}, every other branch on its own
+     * database file. {@code urlPattern} is a {@link String#format} pattern
+     * that receives the branch file name.
+     */
+    static Branches jdbc(List<String> names, String urlPattern) throws StoreException {
+        names = validate(names);
+        Map<String, InventoryStore> m = new LinkedHashMap<>();
+        m.put(names.get(0), new JdbcInventoryStore());
+        for (String name : names.subList(1, names.size())) {
+            String url = String.format(urlPattern, fileName(name));
+            JdbcInventoryStore store = JdbcInventoryStore.forUrl(url);
+            store.ensureSchema();
+            m.put(name, store);
+        }
+        return new Branches(m);
+    }
+
+    /**
+     * One in-memory engine per branch. The home branch keeps
+     * {@code homeSnapshot}; the others get their own file from
+     * {@code snapshotPattern}.
+     */
+    static Branches memory(List<String> names, Path homeSnapshot, String snapshotPattern,
+                           long intervalSeconds) throws StoreException {
+        names = validate(names);
+        Map<String, InventoryStore> m = new LinkedHashMap<>();
+        m.put(names.get(0), new MemoryInventoryStore(homeSnapshot, intervalSeconds));
+        for (String name : names.subList(1, names.size())) {
+            m.put(name, new MemoryInventoryStore(
+                    Paths.get(String.format(snapshotPattern, fileName(name))), intervalSeconds));
+        }
+        return new Branches(m);
+    }
+
+    /** Branch names in configured order. */
+    List<String> names() {
+        return new ArrayList<>(stores.keySet());
+    }
+
+    InventoryStore get(String name) {
+        InventoryStore store = stores.get(name);
+        if (store == null) throw new IllegalArgumentException("Unknown branch " + name);
+        return store;
+    }
+
+    /** The branch that holds user accounts. */
+    InventoryStore home() {
+        return stores.values().iterator().next();
+    }
+
+    Map<String, InventoryStore> all() {
+        return stores;
+    }
+
+    int size() {
+        return stores.size();
+    }
+
+    /**
+     * Trims the names and checks that there is at least one branch and that
+     * no two branches would share a shard file.
+     */
+    private static List<String> validate(List<String> names) throws StoreException {
+        List<String> trimmed = new ArrayList<>();
+        Map<String, String> byFile = new HashMap<>();
+        for (String name : names) {
+            String n = name.trim();
+            if (n.isEmpty()) throw new StoreException("Branch names must not be blank");
+            String other = byFile.putIfAbsent(fileName(n), n);
+            if (other != null) {
+                throw new StoreException("Branches \"" + other + "\" and \"" + n + "\" would share the same shard");
+            }
+            trimmed.add(n);
+        }
+        if (trimmed.isEmpty()) throw new StoreException("At least one branch is required");
+        return trimmed;
+    }
+
+    /**
+     * Closes every branch's store. Every store gets its close() call even
+     * if an earlier one fails; the first failure is rethrown.
+     */
+    void close() throws StoreException {
+        StoreException first = null;
+        for (InventoryStore store : stores.values()) {
+            try {
+                store.close();
+            } catch (StoreException ex) {
+                if (first == null) first = ex;
+                else first.addSuppressed(ex);
+            }
+        }
+        if (first != null) throw first;
+    }
+
+    /** Branch name reduced to characters that are safe in a file name. */
+    private static String fileName(String branch) {
+        return branch.trim().toLowerCase().replaceAll("[^a-z0-9_-]+", "_");
+    }
+}
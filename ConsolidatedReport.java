@@ -0,0 +1,122 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.*;
+
+/**
+ * Head-office figures across every branch. Each shard is queried on its own
+ * thread and the per-branch results are merged here, so the report costs
+ * roughly one branch's query time no matter how many branches there are.
+ */
+final class ConsolidatedReport {
+
+    private static final int MAX_THREADS = 16;
+
+    /** Stock of one product (matched by name) in every branch. */
+    static final class StockLine {
+        private final String productName;
+        private final Map<String, Integer> byBranch = new LinkedHashMap<>();
+        private int total;
+
+        StockLine(String productName) {
+            this.productName = productName;
+        }
+
+        String getProductName() { return productName; }
+        int getTotal() { return total; }
+
+        /** @return stock held in {@code branch}, 0 if the branch does not carry it */
+        int getQuantity(String branch) {
+            Integer q = byBranch.get(branch);
+            return q == null ? 0 : q;
+        }
+
+        private void add(String branch, int quantity) {
+            byBranch.merge(branch, quantity, Integer::sum);
+            total += quantity;
+        }
+    }
+
+    /** What one shard returned. */
+    private static final class BranchResult {
+        final List<Product> products;
+        final SalesSummary sales;
+
+        BranchResult(List<Product> products, SalesSummary sales) {
+            this.products = products;
+            this.sales = sales;
+        }
+    }
+
+    private final List<String> branchNames;
+    private final List<StockLine> stock;
+    private final Map<String, SalesSummary> salesByBranch;
+    private final SalesSummary salesTotal;
+
+    private ConsolidatedReport(List<String> branchNames, List<StockLine> stock,
+                               Map<String, SalesSummary> salesByBranch, SalesSummary salesTotal) {
+        this.branchNames = branchNames;
+        this.stock = stock;
+        this.salesByBranch = salesByBranch;
+        this.salesTotal = salesTotal;
+    }
+
+    List<String> getBranchNames() { return branchNames; }
+
+    /** Stock lines ordered by product name. */
+    List<StockLine> getStock() { return stock; }
+
+    /** Sales per branch, in branch order. */
+    Map<String, SalesSummary> getSalesByBranch() { return salesByBranch; }
+
+    SalesSummary getSalesTotal() { return salesTotal; }
+
+    /**
+     * Queries every branch in parallel and merges the results. Fails as a
+     * whole if any branch fails, rather than reporting partial totals.
+     */
+    static ConsolidatedReport generate(Branches branches) throws StoreException {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(branches.size(), MAX_THREADS), r -> {
+            Thread t = new Thread(r, "branch-report");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            Map<String, Future<BranchResult>> pending = new LinkedHashMap<>();
+            for (Map.Entry<String, InventoryStore> e : branches.all().entrySet()) {
+                InventoryStore store = e.getValue();
+                pending.put(e.getKey(), pool.submit(
+                        () -> new BranchResult(store.listProducts(), store.summarizeSales())));
+            }
+
+            Map<String, StockLine> stock = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            Map<String, SalesSummary> sales = new LinkedHashMap<>();
+            SalesSummary total = SalesSummary.EMPTY;
+            for (Map.Entry<String, Future<BranchResult>> e : pending.entrySet()) {
+                String branch = e.getKey();
+                BranchResult result = await(branch, e.getValue());
+                for (Product p : result.products) {
+                    stock.computeIfAbsent(p.getName(), StockLine::new).add(branch, p.getQuantity());
+                }
+                sales.put(branch, result.sales);
+                total = total.plus(result.sales);
+            }
+            return new ConsolidatedReport(branches.names(), new ArrayList<>(stock.values()), sales, total);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static BranchResult await(String branch, Future<BranchResult> future) throws StoreException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Report interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new StoreException("Branch " + branch + " failed: " + ex.getCause().getMessage(), ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+class ConsolidatedReportDialog extends JDialog {
+
+    private static final Logger LOGGER = Logger.getLogger(ConsolidatedReportDialog.class.getName());
+
+    public ConsolidatedReportDialog(JFrame owner, Branches branches) {
+        super(owner, "Consolidated Report - All Branches", true);
+        setSize(800, 450);
+        setLocationRelativeTo(owner);
+
+        ConsolidatedReport report;
+        try {
+            report = ConsolidatedReport.generate(branches);
+        } catch (StoreException ex) {
+            LOGGER.log(Level.SEVERE, "Unable to build consolidated report", ex);
+            JOptionPane.showMessageDialog(owner, "Unable to build report: " + ex.getMessage(),
+                    "Database Error", JOptionPane.ERROR_MESSAGE);
+            dispose();
+            return;
+        }
+
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.addTab("Stock Levels", new JScrollPane(new JTable(stockModel(report))));
+        tabs.addTab("Sales Totals", new JScrollPane(new JTable(salesModel(report))));
+        add(tabs, BorderLayout.CENTER);
+
+        setVisible(true);
+    }
+
+    private static DefaultTableModel stockModel(ConsolidatedReport report) {
+        List<String> branches = report.getBranchNames();
+        String[] cols = new String[branches.size() + 2];
+        cols[0] = "Product";
+        for (int i = 0; i < branches.size(); i++) cols[i + 1] = branches.get(i);
+        cols[cols.length - 1] = "Total";
+
+        DefaultTableModel model = readOnlyModel(cols);
+        for (ConsolidatedReport.StockLine line : report.getStock()) {
+            Object[] row = new Object[cols.length];
+            row[0] = line.getProductName();
+            for (int i = 0; i < branches.size(); i++) row[i + 1] = line.getQuantity(branches.get(i));
+            row[cols.length - 1] = line.getTotal();
+            model.addRow(row);
+        }
+        return model;
+    }
+
+    private static DefaultTableModel salesModel(ConsolidatedReport report) {
+        String[] cols = {"Branch", "Sales", "Units Sold", "Revenue"};
+        DefaultTableModel model = readOnlyModel(cols);
+        for (Map.Entry<String, SalesSummary> e : report.getSalesByBranch().entrySet()) {
+            model.addRow(salesRow(e.getKey(), e.getValue()));
+        }
+        model.addRow(salesRow("ALL BRANCHES", report.getSalesTotal()));
+        return model;
+    }
+
+    private static Object[] salesRow(String label, SalesSummary s) {
+        return new Object[]{label, s.getSaleCount(), s.getUnitsSold(), s.getRevenue()};
+    }
+
+    private static DefaultTableModel readOnlyModel(String[] cols) {
+        return new DefaultTableModel(cols, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+    }
+}
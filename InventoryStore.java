@@ -0,0 +1,55 @@
+import java.util.List;
+
+/**
+ * Storage backend for products, sales and user accounts. The Swing classes
+ * talk only to this interface, so the backend can be swapped without
+ * touching the UI.
+ */
+interface InventoryStore extends AutoCloseable {
+
+    /* ------------------ Users ------------------ */
+
+    boolean authenticate(String username, String password) throws StoreException;
+
+    /** @return false if the username is already taken */
+    boolean createUser(String username, String email, String password) throws StoreException;
+
+    /* ------------------ Products ------------------ */
+
+    /** All products ordered by id. */
+    List<Product> listProducts() throws StoreException;
+
+    /** @return the product, or null if it does not exist */
+    Product findProduct(int id) throws StoreException;
+
+    void addProduct(String name, int quantity, double price) throws StoreException;
+
+    /** @return false if the product does not exist */
+    boolean updatePrice(int id, double price) throws StoreException;
+
+    /** @return false if the product does not exist */
+    boolean deleteProduct(int id) throws StoreException;
+
+    /** @return false if the product does not exist */
+    boolean restock(int id, int amount) throws StoreException;
+
+    /* ------------------ Sales ------------------ */
+
+    /**
+     * Takes {@code count} units out of stock and records the sale in one step.
+     *
+     * @return the recorded sale, or null if there is not enough stock
+     * @throws StoreException if the product does not exist or storage fails
+     */
+    Sale sell(int productId, int count) throws StoreException;
+
+    /** All sales, newest first. */
+    List<Sale> listSales() throws StoreException;
+
+    /** Sale count, units and revenue, aggregated inside the store. */
+    SalesSummary summarizeSales() throws StoreException;
+
+    /** Releases the store and persists anything still held in memory. */
+    @Override
+    void close() throws StoreException;
+}
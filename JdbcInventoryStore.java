@@ -0,0 +1,280 @@
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link InventoryStore} backed by the SQL database behind {@link DBConnection},
+ * or by a branch's own database file (see {@link #forUrl(String)}).
+ */
+class JdbcInventoryStore implements InventoryStore {
+
+    /** Opens a fresh connection per operation, like {@link DBConnection#getConnection()}. */
+    interface ConnectionSource {
+        Connection open() throws SQLException;
+    }
+
+    private final ConnectionSource connections;
+
+    JdbcInventoryStore() {
+        this(DBConnection::getConnection);
+    }
+
+    JdbcInventoryStore(ConnectionSource connections) {
+        this.connections = connections;
+    }
+
+    /** Store for a separate database, e.g. one branch's {@code jdbc:sqlite:} file. */
+    static JdbcInventoryStore forUrl(String url) {
+        return new JdbcInventoryStore(() -> DriverManager.getConnection(url));
+    }
+
+    /** Creates the tables if this database is new. */
+    void ensureSchema() throws StoreException {
+        try (Connection c = connections.open();
+             Statement s = c.createStatement()) {
+            s.executeUpdate("CREATE TABLE IF NOT EXISTS users (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                    "username TEXT NOT NULL UNIQUE, " +
+                    "email TEXT, " +
+                    "password TEXT NOT NULL)");
+            s.executeUpdate("CREATE TABLE IF NOT EXISTS products (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                    "name TEXT NOT NULL, " +
+                    "quantity INTEGER NOT NULL, " +
+                    "price REAL NOT NULL)");
+            s.executeUpdate("CREATE TABLE IF NOT EXISTS sales (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                    "product_id INTEGER, " +
+                    "product_name TEXT, " +
+                    "quantity INTEGER NOT NULL, " +
+                    "total REAL NOT NULL, " +
+                    "timestamp TEXT)");
+        } catch (SQLException ex) {
+            throw new StoreException("Could not create tables", ex);
+        }
+    }
+
+    /* ------------------ Users ------------------ */
+
+    @Override
+    public boolean authenticate(String username, String password) throws StoreException {
+        String sql = "SELECT id FROM users WHERE username = ? AND password = ?";
+        try (Connection c = connections.open();
+             PreparedStatement p = c.prepareStatement(sql)) {
+            p.setString(1, username);
+            p.setString(2, password);
+            try (ResultSet r = p.executeQuery()) {
+                return r.next();
+            }
+        } catch (SQLException ex) {
+            throw new StoreException("Login failed", ex);
+        }
+    }
+
+    @Override
+    public boolean createUser(String username, String email, String password) throws StoreException {
+        String sql = "INSERT INTO users(username, email, password) VALUES(?,?,?)";
+        try (Connection c = connections.open();
+             PreparedStatement p = c.prepareStatement(sql)) {
+            p.setString(1, username);
+            p.setString(2, email);
+            p.setString(3, password);
+            p.executeUpdate();
+            return true;
+        } catch (SQLException ex) {
+            if (ex.getMessage() != null && ex.getMessage().contains("UNIQUE")) {
+                return false;
+            }
+            throw new StoreException(ex.getMessage(), ex);
+        }
+    }
+
+    /* ------------------ Products ------------------ */
+
+    @Override
+    public List<Product> listProducts() throws StoreException {
+        String sql = "SELECT id, name, quantity, price FROM products ORDER BY id";
+        List<Product> products = new ArrayList<>();
+        try (Connection c = connections.open();
+             Statement s = c.createStatement();
+             ResultSet r = s.executeQuery(sql)) {
+            while (r.next()) {
+                products.add(readProduct(r));
+            }
+            return products;
+        } catch (SQLException ex) {
+            throw new StoreException("Load products failed", ex);
+        }
+    }
+
+    @Override
+    public Product findProduct(int id) throws StoreException {
+        String sql = "SELECT id, name, quantity, price FROM products WHERE id = ?";
+        try (Connection c = connections.open();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setInt(1, id);
+            try (ResultSet r = ps.executeQuery()) {
+                return r.next() ? readProduct(r) : null;
+            }
+        } catch (SQLException ex) {
+            throw new StoreException("Load product failed", ex);
+        }
+    }
+
+    @Override
+    public void addProduct(String name, int quantity, double price) throws StoreException {
+        String sql = "INSERT INTO products (name, quantity, price) VALUES (?,?,?)";
+        try (Connection c = connections.open();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, name);
+            ps.setInt(2, quantity);
+            ps.setDouble(3, price);
+            ps.executeUpdate();
+        } catch (SQLException ex) {
+            throw new StoreException("Add product failed", ex);
+        }
+    }
+
+    @Override
+    public boolean updatePrice(int id, double price) throws StoreException {
+        try (Connection c = connections.open();
+             PreparedStatement ps = c.prepareStatement("UPDATE products SET price = ? WHERE id = ?")) {
+            ps.setDouble(1, price);
+            ps.setInt(2, id);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException ex) {
+            throw new StoreException("Update product failed", ex);
+        }
+    }
+
+    @Override
+    public boolean deleteProduct(int id) throws StoreException {
+        try (Connection c = connections.open();
+             PreparedStatement ps = c.prepareStatement("DELETE FROM products WHERE id = ?")) {
+            ps.setInt(1, id);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException ex) {
+            throw new StoreException("Delete product failed", ex);
+        }
+    }
+
+    @Override
+    public boolean restock(int id, int amount) throws StoreException {
+        // single relative update: no read-modify-write window between concurrent restocks
+        try (Connection c = connections.open();
+             PreparedStatement ps = c.prepareStatement("UPDATE products SET quantity = quantity + ? WHERE id = ?")) {
+            ps.setInt(1, amount);
+            ps.setInt(2, id);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException ex) {
+            throw new StoreException("Restock failed", ex);
+        }
+    }
+
+    /* ------------------ Sales ------------------ */
+
+    @Override
+    public Sale sell(int productId, int count) throws StoreException {
+        try (Connection c = connections.open()) {
+            c.setAutoCommit(false);
+            try {
+                Product product;
+                try (PreparedStatement psel = c.prepareStatement(
+                        "SELECT id, name, quantity, price FROM products WHERE id = ?")) {
+                    psel.setInt(1, productId);
+                    try (ResultSet r = psel.executeQuery()) {
+                        if (!r.next()) throw new SQLException("Product missing");
+                        product = readProduct(r);
+                    }
+                }
+                // the stock guard lives in the WHERE clause, so two tills can never oversell
+                try (PreparedStatement pup = c.prepareStatement(
+                        "UPDATE products SET quantity = quantity - ? WHERE id = ? AND quantity >= ?")) {
+                    pup.setInt(1, count);
+                    pup.setInt(2, productId);
+                    pup.setInt(3, count);
+                    if (pup.executeUpdate() == 0) {
+                        c.rollback();
+                        return null;
+                    }
+                }
+                double total = product.getPrice() * count;
+                String timestamp = Sale.now();
+                int saleId;
+                try (PreparedStatement insert = c.prepareStatement(
+                        "INSERT INTO sales (product_id, product_name, quantity, total, timestamp) VALUES (?,?,?,?,?)",
+                        Statement.RETURN_GENERATED_KEYS)) {
+                    insert.setInt(1, productId);
+                    insert.setString(2, product.getName());
+                    insert.setInt(3, count);
+                    insert.setDouble(4, total);
+                    insert.setString(5, timestamp);
+                    insert.executeUpdate();
+                    try (ResultSet keys = insert.getGeneratedKeys()) {
+                        saleId = keys.next() ? keys.getInt(1) : 0;
+                    }
+                }
+                c.commit();
+                return new Sale(saleId, productId, product.getName(), count, total, timestamp);
+            } catch (SQLException ex) {
+                c.rollback();
+                throw ex;
+            }
+        } catch (SQLException ex) {
+            throw new StoreException("Sell failed", ex);
+        }
+    }
+
+    @Override
+    public List<Sale> listSales() throws StoreException {
+        String sql = "SELECT sales.id AS sid, sales.product_id AS pid, " +
+                "COALESCE(products.name, sales.product_name) AS name, " +
+                "sales.quantity AS qty, sales.total AS tot, sales.timestamp AS ts " +
+                "FROM sales " +
+                "LEFT JOIN products ON sales.product_id = products.id " +
+                "ORDER BY sales.id DESC";
+        List<Sale> sales = new ArrayList<>();
+        try (Connection c = connections.open();
+             Statement s = c.createStatement();
+             ResultSet r = s.executeQuery(sql)) {
+            while (r.next()) {
+                sales.add(new Sale(
+                        r.getInt("sid"),
+                        r.getInt("pid"),
+                        r.getString("name"),
+                        r.getInt("qty"),
+                        r.getDouble("tot"),
+                        r.getString("ts")));
+            }
+            return sales;
+        } catch (SQLException ex) {
+            throw new StoreException(ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public SalesSummary summarizeSales() throws StoreException {
+        String sql = "SELECT COUNT(*), COALESCE(SUM(quantity), 0), COALESCE(SUM(total), 0) FROM sales";
+        try (Connection c = connections.open();
+             Statement s = c.createStatement();
+             ResultSet r = s.executeQuery(sql)) {
+            r.next();
+            return new SalesSummary(r.getInt(1), r.getLong(2), r.getDouble(3));
+        } catch (SQLException ex) {
+            throw new StoreException("Sales summary failed", ex);
+        }
+    }
+
+    /** Nothing to release: every operation opens and closes its own connection. */
+    @Override
+    public void close() {
+    }
+
+    private static Product readProduct(ResultSet r) throws SQLException {
+        return new Product(
+                r.getInt("id"),
+                r.getString("name"),
+                r.getInt("quantity"),
+                r.getDouble("price"));
+    }
+}
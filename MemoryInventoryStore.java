@@ -0,0 +1,350 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link InventoryStore} that keeps everything in memory. Stock changes are
+ * guarded by a fixed set of striped locks keyed on product id, so sales of
+ * different products never contend. When a snapshot file is given, the
+ * state is loaded from it on start-up and written back periodically and on
+ * {@link #close()}.
+ */
+class MemoryInventoryStore implements InventoryStore {
+
+    private static final Logger LOGGER = Logger.getLogger(MemoryInventoryStore.class.getName());
+
+    private static final int STRIPES = 64; // power of two
+    private static final int SNAPSHOT_VERSION = 1;
+
+    /** Mutable product state; quantity and price are guarded by the product's stripe. */
+    private static final class ProductRecord {
+        final int id;
+        final String name;
+        int quantity;
+        double price;
+
+        ProductRecord(int id, String name, int quantity, double price) {
+            this.id = id;
+            this.name = name;
+            this.quantity = quantity;
+            this.price = price;
+        }
+
+        Product view() {
+            return new Product(id, name, quantity, price);
+        }
+    }
+
+    private static final class UserRecord {
+        final String email;
+        final String password;
+
+        UserRecord(String email, String password) {
+            this.email = email;
+            this.password = password;
+        }
+    }
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final ConcurrentMap<Integer, ProductRecord> products = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, UserRecord> users = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Sale> sales = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger nextProductId = new AtomicInteger(1);
+    private final AtomicInteger nextSaleId = new AtomicInteger(1);
+
+    private final Path snapshotFile;
+    private final ScheduledExecutorService snapshotter;
+
+    /** Purely in-memory store, nothing is persisted. */
+    MemoryInventoryStore() {
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new ReentrantLock();
+        this.snapshotFile = null;
+        this.snapshotter = null;
+    }
+
+    /**
+     * Store persisted to {@code snapshotFile}, loaded now if it exists and
+     * rewritten every {@code intervalSeconds}. An interval of zero or less
+     * disables the periodic snapshot; the file is then only written on
+     * {@link #close()}.
+     */
+    MemoryInventoryStore(Path snapshotFile, long intervalSeconds) throws StoreException {
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new ReentrantLock();
+        this.snapshotFile = snapshotFile;
+        if (Files.exists(snapshotFile)) {
+            load();
+        }
+        if (intervalSeconds <= 0) {
+            this.snapshotter = null;
+            return;
+        }
+        this.snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "inventory-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+        snapshotter.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (StoreException ex) {
+                LOGGER.log(Level.WARNING, "Periodic snapshot failed", ex);
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    private ReentrantLock stripe(int productId) {
+        return stripes[productId & (STRIPES - 1)];
+    }
+
+    /* ------------------ Users ------------------ */
+
+    @Override
+    public boolean authenticate(String username, String password) {
+        UserRecord u = users.get(username);
+        return u != null && u.password.equals(password);
+    }
+
+    @Override
+    public boolean createUser(String username, String email, String password) {
+        return users.putIfAbsent(username, new UserRecord(email, password)) == null;
+    }
+
+    /* ------------------ Products ------------------ */
+
+    @Override
+    public List<Product> listProducts() {
+        List<Product> list = new ArrayList<>(products.size());
+        for (ProductRecord p : products.values()) {
+            ReentrantLock lock = stripe(p.id);
+            lock.lock();
+            try {
+                list.add(p.view());
+            } finally {
+                lock.unlock();
+            }
+        }
+        list.sort(Comparator.comparingInt(Product::getId));
+        return list;
+    }
+
+    @Override
+    public Product findProduct(int id) {
+        ReentrantLock lock = stripe(id);
+        lock.lock();
+        try {
+            ProductRecord p = products.get(id);
+            return p == null ? null : p.view();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void addProduct(String name, int quantity, double price) {
+        int id = nextProductId.getAndIncrement();
+        ReentrantLock lock = stripe(id);
+        lock.lock();
+        try {
+            products.put(id, new ProductRecord(id, name, quantity, price));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean updatePrice(int id, double price) {
+        ReentrantLock lock = stripe(id);
+        lock.lock();
+        try {
+            ProductRecord p = products.get(id);
+            if (p == null) return false;
+            p.price = price;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteProduct(int id) {
+        ReentrantLock lock = stripe(id);
+        lock.lock();
+        try {
+            return products.remove(id) != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean restock(int id, int amount) {
+        ReentrantLock lock = stripe(id);
+        lock.lock();
+        try {
+            ProductRecord p = products.get(id);
+            if (p == null) return false;
+            p.quantity += amount;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* ------------------ Sales ------------------ */
+
+    @Override
+    public Sale sell(int productId, int count) throws StoreException {
+        ReentrantLock lock = stripe(productId);
+        lock.lock();
+        try {
+            ProductRecord p = products.get(productId);
+            if (p == null) throw new StoreException("Product missing");
+            if (p.quantity < count) return null;
+            p.quantity -= count;
+            // appended under the stripe so a snapshot never sees stock without its sale
+            Sale sale = new Sale(nextSaleId.getAndIncrement(), productId, p.name,
+                    count, p.price * count, Sale.now());
+            sales.add(sale);
+            return sale;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Sale> listSales() {
+        List<Sale> list = new ArrayList<>(sales);
+        list.sort(Comparator.comparingInt(Sale::getId).reversed());
+        return list;
+    }
+
+    @Override
+    public SalesSummary summarizeSales() {
+        int count = 0;
+        long units = 0;
+        double revenue = 0.0;
+        for (Sale s : sales) {
+            count++;
+            units += s.getQuantity();
+            revenue += s.getTotal();
+        }
+        return new SalesSummary(count, units, revenue);
+    }
+
+    /* ------------------ Snapshot ------------------ */
+
+    /**
+     * Writes the whole store to the snapshot file. All stripes are held while
+     * the state is copied, then released before any disk I/O happens.
+     */
+    synchronized void snapshot() throws StoreException {
+        if (snapshotFile == null) return;
+
+        List<ProductRecord> productCopy = new ArrayList<>();
+        List<Sale> salesCopy;
+        int productSeq;
+        int saleSeq;
+        for (ReentrantLock l : stripes) l.lock();
+        try {
+            for (ProductRecord p : products.values()) {
+                productCopy.add(new ProductRecord(p.id, p.name, p.quantity, p.price));
+            }
+            salesCopy = new ArrayList<>(sales);
+            productSeq = nextProductId.get();
+            saleSeq = nextSaleId.get();
+        } finally {
+            for (ReentrantLock l : stripes) l.unlock();
+        }
+
+        Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(productSeq);
+            out.writeInt(saleSeq);
+
+            Map<String, UserRecord> userCopy = new HashMap<>(users);
+            out.writeInt(userCopy.size());
+            for (Map.Entry<String, UserRecord> e : userCopy.entrySet()) {
+                out.writeUTF(e.getKey());
+                out.writeUTF(e.getValue().email);
+                out.writeUTF(e.getValue().password);
+            }
+
+            out.writeInt(productCopy.size());
+            for (ProductRecord p : productCopy) {
+                out.writeInt(p.id);
+                out.writeUTF(p.name);
+                out.writeInt(p.quantity);
+                out.writeDouble(p.price);
+            }
+
+            out.writeInt(salesCopy.size());
+            for (Sale s : salesCopy) {
+                out.writeInt(s.getId());
+                out.writeInt(s.getProductId());
+                out.writeUTF(s.getProductName());
+                out.writeInt(s.getQuantity());
+                out.writeDouble(s.getTotal());
+                out.writeUTF(s.getTimestamp());
+            }
+        } catch (IOException ex) {
+            throw new StoreException("Could not write snapshot " + snapshotFile, ex);
+        }
+
+        try {
+            Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new StoreException("Could not replace snapshot " + snapshotFile, ex);
+        }
+    }
+
+    private void load() throws StoreException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            int version = in.readInt();
+            if (version != SNAPSHOT_VERSION) {
+                throw new StoreException("Unsupported snapshot version " + version);
+            }
+            nextProductId.set(in.readInt());
+            nextSaleId.set(in.readInt());
+
+            int userCount = in.readInt();
+            for (int i = 0; i < userCount; i++) {
+                String username = in.readUTF();
+                users.put(username, new UserRecord(in.readUTF(), in.readUTF()));
+            }
+
+            int productCount = in.readInt();
+            for (int i = 0; i < productCount; i++) {
+                ProductRecord p = new ProductRecord(in.readInt(), in.readUTF(), in.readInt(), in.readDouble());
+                products.put(p.id, p);
+            }
+
+            int saleCount = in.readInt();
+            for (int i = 0; i < saleCount; i++) {
+                sales.add(new Sale(in.readInt(), in.readInt(), in.readUTF(),
+                        in.readInt(), in.readDouble(), in.readUTF()));
+            }
+        } catch (IOException ex) {
+            throw new StoreException("Could not read snapshot " + snapshotFile, ex);
+        }
+    }
+
+    /** Stops the periodic snapshot and writes a final one. */
+    @Override
+    public void close() throws StoreException {
+        if (snapshotFile == null) return;
+        if (snapshotter != null) snapshotter.shutdown();
+        snapshot();
+    }
+}
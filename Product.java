@@ -0,0 +1,21 @@
+/**
+ * Read-only view of one row of the product catalogue.
+ */
+final class Product {
+    private final int id;
+    private final String name;
+    private final int quantity;
+    private final double price;
+
+    Product(int id, String name, int quantity, double price) {
+        this.id = id;
+        this.name = name;
+        this.quantity = quantity;
+        this.price = price;
+    }
+
+    int getId() { return id; }
+    String getName() { return name; }
+    int getQuantity() { return quantity; }
+    double getPrice() { return price; }
+}
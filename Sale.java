@@ -0,0 +1,36 @@
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Read-only view of one recorded sale. The product name is copied at sale
+ * time so history survives the product being deleted.
+ */
+final class Sale {
+    private final int id;
+    private final int productId;
+    private final String productName;
+    private final int quantity;
+    private final double total;
+    private final String timestamp;
+
+    Sale(int id, int productId, String productName, int quantity, double total, String timestamp) {
+        this.id = id;
+        this.productId = productId;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.total = total;
+        this.timestamp = timestamp;
+    }
+
+    int getId() { return id; }
+    int getProductId() { return productId; }
+    String getProductName() { return productName; }
+    int getQuantity() { return quantity; }
+    double getTotal() { return total; }
+    String getTimestamp() { return timestamp; }
+
+    /** Current time in the 12-hour format stored with every sale. */
+    static String now() {
+        return new SimpleDateFormat("yyyy-MM-dd h:mm a").format(new Date());
+    }
+}
@@ -1,7 +1,6 @@
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.sql.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -9,8 +8,11 @@ class SalesHistoryDialog extends JDialog {
 
     private static final Logger LOGGER = Logger.getLogger(SalesHistoryDialog.class.getName());
 
-    public SalesHistoryDialog(JFrame owner) {
+    private final InventoryStore store;
+
+    public SalesHistoryDialog(JFrame owner, InventoryStore store) {
         super(owner, "Sales History", true);
+        this.store = store;
         setSize(700, 400);
         setLocationRelativeTo(owner);
 
@@ -32,28 +34,18 @@ class SalesHistoryDialog extends JDialog {
     private void loadSalesHistory(DefaultTableModel model) {
         model.setRowCount(0); // clear existing rows
 
-        String sql = "SELECT sales.id AS sid, " +
-                "COALESCE(products.name, sales.product_name) AS name, " +
-                "sales.quantity AS qty, sales.total AS tot, sales.timestamp AS ts " +
-                "FROM sales " +
-                "LEFT JOIN products ON sales.product_id = products.id " +
-                "ORDER BY sales.id DESC";
-
-        try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
+        try {
+            for (Sale sale : store.listSales()) {
                 model.addRow(new Object[]{
-                        rs.getInt("sid"),
-                        rs.getString("name"),
-                        rs.getInt("qty"),
-                        rs.getDouble("tot"),
-                        rs.getString("ts")
+                        sale.getId(),
+                        sale.getProductName(),
+                        sale.getQuantity(),
+                        sale.getTotal(),
+                        sale.getTimestamp()
                 });
             }
 
-        } catch (SQLException ex) {
+        } catch (StoreException ex) {
             LOGGER.log(Level.SEVERE, "Unable to fetch sales history", ex);
             JOptionPane.showMessageDialog(this, "Unable to fetch sales history: " + ex.getMessage(),
                     "Database Error", JOptionPane.ERROR_MESSAGE);
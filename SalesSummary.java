@@ -0,0 +1,26 @@
+/**
+ * Aggregate sales figures for one branch, or several merged together.
+ */
+final class SalesSummary {
+    static final SalesSummary EMPTY = new SalesSummary(0, 0, 0.0);
+
+    private final int saleCount;
+    private final long unitsSold;
+    private final double revenue;
+
+    SalesSummary(int saleCount, long unitsSold, double revenue) {
+        this.saleCount = saleCount;
+        this.unitsSold = unitsSold;
+        this.revenue = revenue;
+    }
+
+    int getSaleCount() { return saleCount; }
+    long getUnitsSold() { return unitsSold; }
+    double getRevenue() { return revenue; }
+
+    SalesSummary plus(SalesSummary other) {
+        return new SalesSummary(saleCount + other.saleCount,
+                unitsSold + other.unitsSold,
+                revenue + other.revenue);
+    }
+}
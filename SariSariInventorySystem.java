@@ -2,9 +2,10 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.*;
-import java.sql.*;
-import java.util.Date;
-import java.text.SimpleDateFormat;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -14,8 +15,51 @@ public class SariSariInventorySystem {
     static final Logger LOGGER =
             Logger.getLogger(SariSariInventorySystem.class.getName());
 
+    private static Branches branches;
+
+    /** Every branch the dashboard can switch between. */
+    static Branches branches() {
+        return branches;
+    }
+
     public static void main(String[] args) {
-        // ensure DB exists and tables created
+        // -Dsarisari.store=memory runs on the in-memory engine instead of the database
+        boolean memory = "memory".equalsIgnoreCase(System.getProperty("sarisari.store"));
+        long snapshotSeconds = Long.getLong("sarisari.snapshotSeconds", 30L);
+        // -Dsarisari.branches=Main,North,South gives each branch its own shard
+        String branchList = System.getProperty("sarisari.branches");
+        Path snapshot = Paths.get(System.getProperty("sarisari.snapshot", "sarisari.snapshot"));
+        try {
+            if (branchList == null || branchList.trim().isEmpty()) {
+                InventoryStore store;
+                if (memory) {
+                    store = new MemoryInventoryStore(snapshot, snapshotSeconds);
+                } else {
+                    store = new JdbcInventoryStore();
+                }
+                branches = Branches.single("Main", store);
+            } else {
+                List<String> names = Arrays.asList(branchList.split(",", -1));
+                if (memory) {
+                    branches = Branches.memory(names, snapshot,
+                            System.getProperty("sarisari.branchSnapshot", "sarisari-%s.snapshot"),
+                            snapshotSeconds);
+                } else {
+                    branches = Branches.jdbc(names,
+                            System.getProperty("sarisari.branchUrl", "jdbc:sqlite:sarisari-%s.db"));
+                }
+            }
+        } catch (StoreException ex) {
+            LOGGER.log(Level.SEVERE, "Could not open inventory store", ex);
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                branches.close();
+            } catch (StoreException ex) {
+                LOGGER.log(Level.SEVERE, "Could not close inventory store", ex);
+            }
+        }));
         SwingUtilities.invokeLater(LoginFrame::new);
     }
 }
@@ -77,15 +121,9 @@ class LoginFrame extends JFrame {
     }
 
     private boolean authenticate(String username, String password) {
-        String sql = "SELECT id FROM users WHERE username = ? AND password = ?";
-        try (Connection c = DBConnection.getConnection();
-             PreparedStatement p = c.prepareStatement(sql)) {
-            p.setString(1, username);
-            p.setString(2, password);
-            try (ResultSet r = p.executeQuery()) {
-                return r.next();
-            }
-        } catch (SQLException ex) {
+        try {
+            return SariSariInventorySystem.branches().home().authenticate(username, password);
+        } catch (StoreException ex) {
             SariSariInventorySystem.LOGGER.log(Level.SEVERE, "Login failed", ex);
             JOptionPane.showMessageDialog(this, "Database error occurred.");
             return false;
@@ -145,20 +183,14 @@ class SignupFrame extends JFrame {
     }
 
     private boolean createUser(String username, String email, String password) {
-        String sql = "INSERT INTO users(username, email, password) VALUES(?,?,?)";
-        try (Connection c = DBConnection.getConnection();
-             PreparedStatement p = c.prepareStatement(sql)) {
-            p.setString(1, username);
-            p.setString(2, email);
-            p.setString(3, password);
-            p.executeUpdate();
-            return true;
-        } catch (SQLException ex) {
-            if (ex.getMessage().contains("UNIQUE")) {
-                JOptionPane.showMessageDialog(this, "Username already exists.");
-            } else {
-                JOptionPane.showMessageDialog(this, "DB error: " + ex.getMessage());
+        try {
+            if (SariSariInventorySystem.branches().home().createUser(username, email, password)) {
+                return true;
             }
+            JOptionPane.showMessageDialog(this, "Username already exists.");
+            return false;
+        } catch (StoreException ex) {
+            JOptionPane.showMessageDialog(this, "DB error: " + ex.getMessage());
             return false;
         }
     }
@@ -169,17 +201,20 @@ class DashboardFrame extends JFrame {
     private final String currentUser;
     private final DefaultTableModel tableModel;
     private final JTable productTable;
+    private String currentBranch;
 
     public DashboardFrame(String username) {
         this.currentUser = username;
-        setTitle("Inventory Dashboard - " + username);
+        Branches branches = SariSariInventorySystem.branches();
+        this.currentBranch = branches.names().get(0);
+        setTitle("Inventory Dashboard - " + username + " @ " + currentBranch);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(900, 520);
         setLocationRelativeTo(null);
         setLayout(new BorderLayout(8,8));
 
         // Left menu
-        JPanel menu = new JPanel(new GridLayout(8,1,6,6));
+        JPanel menu = new JPanel(new GridLayout(9,1,6,6));
         menu.setBorder(BorderFactory.createEmptyBorder(10,10,10,10));
         JButton profileBtn = new JButton("PROFILE");
         JButton addBtn = new JButton("ADD");
@@ -188,6 +223,7 @@ class DashboardFrame extends JFrame {
         JButton sellBtn = new JButton("SALE");
         JButton refreshBtn = new JButton("REFRESH");
         JButton historyBtn = new JButton("SALES HISTORY");
+        JButton reportBtn = new JButton("REPORTS");
         JButton logoutBtn = new JButton("LOGOUT");
 
         menu.add(profileBtn);
@@ -197,10 +233,18 @@ class DashboardFrame extends JFrame {
         menu.add(sellBtn);
         menu.add(refreshBtn);
         menu.add(historyBtn);
+        menu.add(reportBtn);
         menu.add(logoutBtn);
 
         add(menu, BorderLayout.WEST);
 
+        // Branch selector: each branch is a separate shard
+        JComboBox<String> branchBox = new JComboBox<>(branches.names().toArray(new String[0]));
+        JPanel top = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 6));
+        top.add(new JLabel("Branch: "));
+        top.add(branchBox);
+        add(top, BorderLayout.NORTH);
+
         // Table
         String[] cols = {"ID", "Product Name", "Quantity", "Price"};
         tableModel = new DefaultTableModel(cols, 0) {
@@ -223,7 +267,13 @@ class DashboardFrame extends JFrame {
         restockBtn.addActionListener(e -> openRestockDialog());
         sellBtn.addActionListener(e -> openSellDialog());
         profileBtn.addActionListener(e -> showProfile());
-        historyBtn.addActionListener(e -> new SalesHistoryDialog(this));
+        historyBtn.addActionListener(e -> new SalesHistoryDialog(this, store()));
+        reportBtn.addActionListener(e -> new ConsolidatedReportDialog(this, branches));
+        branchBox.addActionListener(e -> {
+            currentBranch = (String) branchBox.getSelectedItem();
+            setTitle("Inventory Dashboard - " + currentUser + " @ " + currentBranch);
+            loadProducts();
+        });
         logoutBtn.addActionListener(e -> {
             dispose();
             new LoginFrame();
@@ -234,22 +284,24 @@ class DashboardFrame extends JFrame {
         setVisible(true);
     }
 
+    /** Store of the branch currently shown. */
+    InventoryStore store() {
+        return SariSariInventorySystem.branches().get(currentBranch);
+    }
+
     void loadProducts() {
         tableModel.setRowCount(0);
-        String sql = "SELECT id, name, quantity, price FROM products ORDER BY id";
-        try (Connection c = DBConnection.getConnection();
-             Statement s = c.createStatement();
-             ResultSet r = s.executeQuery(sql)) {
-            while (r.next()) {
+        try {
+            for (Product p : store().listProducts()) {
                 Object[] row = new Object[] {
-                        r.getInt("id"),
-                        r.getString("name"),
-                        r.getInt("quantity"),
-                        r.getDouble("price")
+                        p.getId(),
+                        p.getName(),
+                        p.getQuantity(),
+                        p.getPrice()
                 };
                 tableModel.addRow(row);
             }
-        } catch (SQLException ex) {
+        } catch (StoreException ex) {
             SariSariInventorySystem.LOGGER.log(Level.SEVERE, "Load products failed", ex);
             JOptionPane.showMessageDialog(this, "Could not load products.");
         }
@@ -287,7 +339,7 @@ class DashboardFrame extends JFrame {
 
     private void showProfile() {
 
-        JOptionPane.showMessageDialog(this, "Profile:\nUsername: " + currentUser);
+        JOptionPane.showMessageDialog(this, "Profile:\nUsername: " + currentUser + "\nBranch: " + currentBranch);
     }
 }
 
@@ -318,17 +370,10 @@ class AddProductDialog extends JDialog {
                 int q = Integer.parseInt(qty.getText().trim());
                 double p = Double.parseDouble(price.getText().trim());
                 if (n.isEmpty()) throw new IllegalArgumentException("Name empty");
-                String sql = "INSERT INTO products (name, quantity, price) VALUES (?,?,?)";
-                try (Connection c = DBConnection.getConnection();
-                     PreparedStatement ps = c.prepareStatement(sql)) {
-                    ps.setString(1, n);
-                    ps.setInt(2, q);
-                    ps.setDouble(3, p);
-                    ps.executeUpdate();
-                    JOptionPane.showMessageDialog(this, "Added.");
-                    dispose();
-                    owner.loadProducts();
-                }
+                owner.store().addProduct(n, q, p);
+                JOptionPane.showMessageDialog(this, "Added.");
+                dispose();
+                owner.loadProducts();
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this, "Quantity and price must be numbers.");
             } catch (Exception ex) {
@@ -364,24 +409,19 @@ class UpdateProductDialog extends JDialog {
         // editable field for price only
         JTextField priceField = new JTextField();
 
-        // Load product values from DB
-        String sql = "SELECT name, quantity, price FROM products WHERE id = ?";
-        try (Connection c = DBConnection.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setInt(1, pid);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    nameLabel.setText(rs.getString("name"));
-                    qtyLabel.setText(String.valueOf(rs.getInt("quantity")));
-                    priceField.setText(String.valueOf(rs.getDouble("price")));
-                } else {
-                    JOptionPane.showMessageDialog(this, "Product not found.");
-                    dispose();
-                    return;
-                }
+        // Load product values from the store
+        try {
+            Product product = owner.store().findProduct(pid);
+            if (product != null) {
+                nameLabel.setText(product.getName());
+                qtyLabel.setText(String.valueOf(product.getQuantity()));
+                priceField.setText(String.valueOf(product.getPrice()));
+            } else {
+                JOptionPane.showMessageDialog(this, "Product not found.");
+                dispose();
+                return;
             }
-        } catch (SQLException ex) {
+        } catch (StoreException ex) {
             SariSariInventorySystem.LOGGER.log(Level.SEVERE, "Update product failed", ex);
             JOptionPane.showMessageDialog(this, "Database error.");
             return;
@@ -409,45 +449,34 @@ class UpdateProductDialog extends JDialog {
         saveBtn.addActionListener(e -> {
             try {
                 double newPrice = Double.parseDouble(priceField.getText().trim());
-                try (Connection c = DBConnection.getConnection();
-                     PreparedStatement ps = c.prepareStatement("UPDATE products SET price = ? WHERE id = ?")) {
-                    ps.setDouble(1, newPrice);
-                    ps.setInt(2, productId);
-                    int updated = ps.executeUpdate();
-                    if (updated > 0) {
-                        JOptionPane.showMessageDialog(this, "Price updated.");
-                        dispose();
-                        owner.loadProducts();
-                    } else {
-                        JOptionPane.showMessageDialog(this, "Update failed - product may not exist.");
-                    }
+                if (owner.store().updatePrice(productId, newPrice)) {
+                    JOptionPane.showMessageDialog(this, "Price updated.");
+                    dispose();
+                    owner.loadProducts();
+                } else {
+                    JOptionPane.showMessageDialog(this, "Update failed - product may not exist.");
                 }
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this, "Price must be a number.");
-            } catch (SQLException ex) {
+            } catch (StoreException ex) {
                 SariSariInventorySystem.LOGGER.log(Level.SEVERE, "Update product failed", ex);
                 JOptionPane.showMessageDialog(this, "Database error.");
             }
         });
 
-        // DELETE: proper try-with-resources usage
         deleteBtn.addActionListener(e -> {
             int conf = JOptionPane.showConfirmDialog(this, "Delete this product?", "Confirm", JOptionPane.YES_NO_OPTION);
             if (conf != JOptionPane.YES_OPTION) return;
 
-            String delSql = "DELETE FROM products WHERE id = ?";
-            try (Connection c = DBConnection.getConnection();
-                 PreparedStatement ps = c.prepareStatement(delSql)) {
-                ps.setInt(1, productId);
-                int deleted = ps.executeUpdate();
-                if (deleted > 0) {
+            try {
+                if (owner.store().deleteProduct(productId)) {
                     JOptionPane.showMessageDialog(this, "Deleted.");
                     dispose();
                     owner.loadProducts();
                 } else {
                     JOptionPane.showMessageDialog(this, "Delete failed - product may not exist.");
                 }
-            } catch (SQLException ex) {
+            } catch (StoreException ex) {
                 SariSariInventorySystem.LOGGER.log(Level.SEVERE, "Update product failed", ex);
                 JOptionPane.showMessageDialog(this, "Database error.");
             }
@@ -479,25 +508,12 @@ class RestockDialog extends JDialog {
             try {
                 int add = Integer.parseInt(qty.getText().trim());
                 if (add <= 0) throw new IllegalArgumentException("Must be > 0");
-                try (Connection c = DBConnection.getConnection()) {
-                    c.setAutoCommit(false);
-                    try (PreparedStatement select = c.prepareStatement("SELECT quantity FROM products WHERE id=?");
-                         PreparedStatement update = c.prepareStatement("UPDATE products SET quantity=? WHERE id=?")) {
-                        select.setInt(1, productId);
-                        try (ResultSet r = select.executeQuery()) {
-                            if (!r.next()) throw new SQLException("Product missing");
-                            int cur = r.getInt(1);
-                            int updated = cur + add;
-                            update.setInt(1, updated);
-                            update.setInt(2, productId);
-                            update.executeUpdate();
-                        }
-                    }
-                    c.commit();
-                    JOptionPane.showMessageDialog(this, "Restocked.");
-                    dispose();
-                    owner.loadProducts();
+                if (!owner.store().restock(productId, add)) {
+                    throw new StoreException("Product missing");
                 }
+                JOptionPane.showMessageDialog(this, "Restocked.");
+                dispose();
+                owner.loadProducts();
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this, "Enter a valid number.");
             } catch (Exception ex) {
@@ -528,25 +544,21 @@ class SellDialog extends JDialog {
         // load product name and price
         String tempName;
         double price;
-        try (Connection c = DBConnection.getConnection();
-             PreparedStatement p = c.prepareStatement("SELECT name, price, quantity FROM products WHERE id=?")) {
-            p.setInt(1, productId);
-            try (ResultSet r = p.executeQuery()) {
-                if (r.next()) {
-                    tempName = r.getString("name");
-                    price = r.getDouble("price");
-                } else {
-                    JOptionPane.showMessageDialog(this, "Product doesn't exist.");
-                    dispose(); 
-                    return;
-                }
+        try {
+            Product product = owner.store().findProduct(productId);
+            if (product != null) {
+                tempName = product.getName();
+                price = product.getPrice();
+            } else {
+                JOptionPane.showMessageDialog(this, "Product doesn't exist.");
+                dispose(); 
+                return;
             }
         } catch (Exception ex) {
             SariSariInventorySystem.LOGGER.log(Level.SEVERE, "Sell failed", ex);
             JOptionPane.showMessageDialog(this, "Sale failed.");
             return;
         }
-        final String nameFinal = tempName;
 
         add(new JLabel("Product name: "));
         add(new JLabel(tempName));
@@ -562,53 +574,14 @@ class SellDialog extends JDialog {
                 int count = Integer.parseInt(qty.getText().trim());
                 if (count <= 0) throw new IllegalArgumentException("Quantity must be > 0");
 
-                try (Connection c = DBConnection.getConnection()) {
-                    c.setAutoCommit(false);
-                    try (PreparedStatement psel = c.prepareStatement("SELECT quantity, price FROM products WHERE id=? FOR UPDATE")) {
-                        psel.setInt(1, productId);
-                        try (ResultSet r = psel.executeQuery()) {
-                            if (!r.next()) throw new SQLException("Product missing");
-                            int current = r.getInt("quantity");
-                            double unitPrice = r.getDouble("price");
-                            if (current < count) {
-                                JOptionPane.showMessageDialog(this, "Not enough stock.");
-                                c.rollback();
-                                return;
-                            }
-                            int newQty = current - count;
-                            try (PreparedStatement pup = c.prepareStatement("UPDATE products SET quantity=? WHERE id=?")) {
-                                pup.setInt(1, newQty);
-                                pup.setInt(2, productId);
-                                pup.executeUpdate();
-                            }
-                            double total = unitPrice * count;
-                            // Insert sale with product_id AND product_name
-                            try (PreparedStatement insert = c.prepareStatement(
-                                    "INSERT INTO sales (product_id, product_name, quantity, total, timestamp) VALUES (?,?,?,?,?)")) {
-
-                                insert.setInt(1, productId);             // product ID (can be NULL if deleted later)
-                                insert.setString(2, nameFinal);              // product name copied for history
-                                insert.setInt(3, count);                 // quantity sold
-                                insert.setDouble(4, total);              // total amount
-
-                                // Format timestamp as 12-hour format
-                                SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd h:mm a");
-                                String formattedTime = sdf.format(new Date());
-
-                                insert.setString(5, formattedTime);  // Insert formatted time
-
-                                System.out.println("Formatted Time: " + formattedTime);
-
-                                insert.executeUpdate();
-                            }
-
-                            c.commit();
-                            JOptionPane.showMessageDialog(this, "Sold " + count + " units. Total = " + total);
-                            dispose();
-                            owner.loadProducts();
-                        }
-                    }
+                Sale sale = owner.store().sell(productId, count);
+                if (sale == null) {
+                    JOptionPane.showMessageDialog(this, "Not enough stock.");
+                    return;
                 }
+                JOptionPane.showMessageDialog(this, "Sold " + count + " units. Total = " + sale.getTotal());
+                dispose();
+                owner.loadProducts();
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this, "Enter a valid integer quantity.");
             } catch (Exception ex) {
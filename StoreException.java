@@ -0,0 +1,13 @@
+/**
+ * Raised by an {@link InventoryStore} when the backing storage fails.
+ */
+class StoreException extends Exception {
+
+    StoreException(String message) {
+        super(message);
+    }
+
+    StoreException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}